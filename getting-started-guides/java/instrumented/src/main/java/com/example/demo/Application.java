@@ -12,6 +12,8 @@ import io.opentelemetry.instrumentation.spring.webmvc.v6_0.SpringWebMvcTelemetry
 import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
 import jakarta.servlet.Filter;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -19,13 +21,26 @@ import org.springframework.context.annotation.Bean;
 @SpringBootApplication
 public class Application {
 
+  private static volatile OpenTelemetrySdk openTelemetrySdk;
   private static volatile OpenTelemetry openTelemetry = OpenTelemetry.noop();
 
   public static void main(String[] args) {
     // Build the SDK auto-configuration extension module
-    OpenTelemetrySdk openTelemetrySdk =
-        AutoConfiguredOpenTelemetrySdk.builder().build().getOpenTelemetrySdk();
-    Application.openTelemetry = openTelemetrySdk;
+    openTelemetrySdk =
+        AutoConfiguredOpenTelemetrySdk.builder()
+            // Optionally select OTLP exporter settings by performance profile
+            .addPropertiesCustomizer(OtlpExporterProfile::customizeProperties)
+            // Aggregate the self profiling overhead histogram as an exponential histogram
+            .addMeterProviderCustomizer(SelfProfilingOpenTelemetry::registerView)
+            // The SDK is shut down by openTelemetrySdkShutdown when Spring stops, within a deadline
+            .disableShutdownHook()
+            .build()
+            .getOpenTelemetrySdk();
+    // Optionally measure the time spent inside SDK calls on the request path
+    Application.openTelemetry =
+        SelfProfilingOpenTelemetry.isEnabled()
+            ? SelfProfilingOpenTelemetry.wrap(openTelemetrySdk)
+            : openTelemetrySdk;
 
     // Register runtime metrics instrumentation
     BufferPools.registerObservers(openTelemetrySdk);
@@ -42,14 +57,22 @@ public class Application {
     // erases any programmatic log configuration so we must initialize after Spring. Unfortunately,
     // this means that Spring startup logs do not make it to the OpenTelemetry.
     // See this issue for tracking: https://github.com/spring-projects/spring-boot/issues/25847
-    OpenTelemetryAppender.install(openTelemetrySdk);
+    OpenTelemetryAppender.install(Application.openTelemetry);
   }
 
-  @Bean
+  // The SDK is shut down by openTelemetrySdkShutdown, rather than the inferred close method
+  @Bean(destroyMethod = "")
   public OpenTelemetry openTelemetry() {
     return openTelemetry;
   }
 
+  // Flush and shut down the SDK when the application stops, bounded by otel.sdk.shutdown.timeout
+  @Bean
+  public OpenTelemetrySdkShutdown openTelemetrySdkShutdown(
+      @Value("${otel.sdk.shutdown.timeout:10s}") Duration timeout) {
+    return new OpenTelemetrySdkShutdown(openTelemetrySdk, timeout);
+  }
+
   // Add Spring WebMVC instrumentation by registering a tracing filter
   @Bean
   public Filter webMvcTracingFilter(OpenTelemetry openTelemetry) {
@@ -0,0 +1,81 @@
+package com.example.demo;
+
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Shuts down the OpenTelemetry SDK when the Spring context closes, which Spring Boot also does on
+ * SIGTERM. Traces, metrics, and logs are flushed in parallel and shutdown waits at most {@code
+ * timeout}, so a slow exporter can't stall a deploy. Signals which didn't flush in time are logged.
+ */
+class OpenTelemetrySdkShutdown implements DisposableBean {
+
+  private static final Logger LOGGER = LogManager.getLogger(OpenTelemetrySdkShutdown.class);
+
+  private final OpenTelemetrySdk openTelemetrySdk;
+  private final Duration timeout;
+
+  OpenTelemetrySdkShutdown(OpenTelemetrySdk openTelemetrySdk, Duration timeout) {
+    this.openTelemetrySdk = openTelemetrySdk;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public void destroy() {
+    Map<String, CompletableResultCode> results = new LinkedHashMap<>();
+    results.put("traces", shutdownInBackground(openTelemetrySdk.getSdkTracerProvider()::shutdown));
+    results.put("metrics", shutdownInBackground(openTelemetrySdk.getSdkMeterProvider()::shutdown));
+    results.put("logs", shutdownInBackground(openTelemetrySdk.getSdkLoggerProvider()::shutdown));
+    CompletableResultCode.ofAll(results.values()).join(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+    List<String> dropped = new ArrayList<>();
+    results.forEach(
+        (signal, result) -> {
+          if (!result.isSuccess()) {
+            dropped.add(signal + (result.isDone() ? " (export failed)" : " (timed out)"));
+          }
+        });
+    if (dropped.isEmpty()) {
+      LOGGER.info("Flushed OpenTelemetry traces, metrics, and logs");
+    } else {
+      LOGGER.warn(
+          "OpenTelemetry did not flush {} within {}, unexported telemetry was dropped",
+          String.join(", ", dropped),
+          timeout);
+    }
+  }
+
+  // Some providers block while shutting down, so each is shut down on its own thread. The threads
+  // are daemons so one which outlives the timeout doesn't keep the JVM alive.
+  private static CompletableResultCode shutdownInBackground(
+      Supplier<CompletableResultCode> shutdown) {
+    CompletableResultCode result = new CompletableResultCode();
+    Thread thread =
+        new Thread(
+            () -> {
+              CompletableResultCode shutdownResult = shutdown.get();
+              shutdownResult.whenComplete(
+                  () -> {
+                    if (shutdownResult.isSuccess()) {
+                      result.succeed();
+                    } else {
+                      result.fail();
+                    }
+                  });
+            },
+            "otel-sdk-shutdown");
+    thread.setDaemon(true);
+    thread.start();
+    return result;
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.demo;
+
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigurationException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * OTLP exporter settings selected with {@code otel.exporter.otlp.profile} (or {@code
+ * OTEL_EXPORTER_OTLP_PROFILE}). Explicitly configured exporter properties take precedence.
+ *
+ * <p>Profiles only select compression. The protocol also decides the endpoint's port, so a profile
+ * which switched it would break explicitly configured endpoints. The otlp-exporter-benchmark
+ * example in other-examples/java measures the trade-off between the profiles.
+ */
+enum OtlpExporterProfile {
+  // Gzip compress payloads, spending exporter CPU to send fewer bytes
+  LOW_EGRESS("gzip"),
+  // Send payloads uncompressed, which is also the exporters' default
+  LOW_CPU("none");
+
+  private static final String COMPRESSION_PROPERTY = "otel.exporter.otlp.compression";
+
+  private final String compression;
+
+  OtlpExporterProfile(String compression) {
+    this.compression = compression;
+  }
+
+  /** Returns the properties for the configured profile, for use as a properties customizer. */
+  static Map<String, String> customizeProperties(ConfigProperties config) {
+    String profile = config.getString("otel.exporter.otlp.profile");
+    if (profile == null || profile.isBlank() || config.getString(COMPRESSION_PROPERTY) != null) {
+      return Map.of();
+    }
+    return Map.of(COMPRESSION_PROPERTY, parse(profile).compression);
+  }
+
+  private static OtlpExporterProfile parse(String profile) {
+    for (OtlpExporterProfile value : values()) {
+      if (value.name().equalsIgnoreCase(profile)) {
+        return value;
+      }
+    }
+    throw new ConfigurationException(
+        "Unrecognized value for otel.exporter.otlp.profile: "
+            + profile
+            + " (expected one of: "
+            + Arrays.stream(values())
+                .map(value -> value.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(", "))
+            + ")");
+  }
+}
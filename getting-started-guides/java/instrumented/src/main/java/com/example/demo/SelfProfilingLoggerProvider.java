@@ -0,0 +1,131 @@
+package com.example.demo;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.LoggerBuilder;
+import io.opentelemetry.api.logs.LoggerProvider;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.context.Context;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link LoggerProvider} which times creating and emitting log records, which is what the log4j
+ * {@code OpenTelemetryAppender} does for each log append.
+ */
+final class SelfProfilingLoggerProvider implements LoggerProvider {
+
+  private final LoggerProvider delegate;
+
+  SelfProfilingLoggerProvider(LoggerProvider delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public LoggerBuilder loggerBuilder(String instrumentationScopeName) {
+    return new ProfilingLoggerBuilder(delegate.loggerBuilder(instrumentationScopeName));
+  }
+
+  private static class ProfilingLoggerBuilder implements LoggerBuilder {
+
+    private final LoggerBuilder delegate;
+
+    private ProfilingLoggerBuilder(LoggerBuilder delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public LoggerBuilder setSchemaUrl(String schemaUrl) {
+      delegate.setSchemaUrl(schemaUrl);
+      return this;
+    }
+
+    @Override
+    public LoggerBuilder setInstrumentationVersion(String instrumentationScopeVersion) {
+      delegate.setInstrumentationVersion(instrumentationScopeVersion);
+      return this;
+    }
+
+    @Override
+    public Logger build() {
+      Logger logger = delegate.build();
+      return () -> {
+        long start = SelfProfilingOpenTelemetry.start();
+        LogRecordBuilder logRecordBuilder = logger.logRecordBuilder();
+        SelfProfilingOpenTelemetry.stop(start);
+        return new ProfilingLogRecordBuilder(logRecordBuilder);
+      };
+    }
+  }
+
+  private static class ProfilingLogRecordBuilder implements LogRecordBuilder {
+
+    private final LogRecordBuilder delegate;
+
+    private ProfilingLogRecordBuilder(LogRecordBuilder delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public LogRecordBuilder setTimestamp(long timestamp, TimeUnit unit) {
+      delegate.setTimestamp(timestamp, unit);
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setTimestamp(Instant instant) {
+      delegate.setTimestamp(instant);
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setObservedTimestamp(long timestamp, TimeUnit unit) {
+      delegate.setObservedTimestamp(timestamp, unit);
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setObservedTimestamp(Instant instant) {
+      delegate.setObservedTimestamp(instant);
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setContext(Context context) {
+      delegate.setContext(context);
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setSeverity(Severity severity) {
+      delegate.setSeverity(severity);
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setSeverityText(String severityText) {
+      delegate.setSeverityText(severityText);
+      return this;
+    }
+
+    @Override
+    public LogRecordBuilder setBody(String body) {
+      delegate.setBody(body);
+      return this;
+    }
+
+    @Override
+    public <T> LogRecordBuilder setAttribute(AttributeKey<T> key, T value) {
+      delegate.setAttribute(key, value);
+      return this;
+    }
+
+    @Override
+    public void emit() {
+      long start = SelfProfilingOpenTelemetry.start();
+      delegate.emit();
+      SelfProfilingOpenTelemetry.stop(start);
+    }
+  }
+}
@@ -0,0 +1,445 @@
+package com.example.demo;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.BatchCallback;
+import io.opentelemetry.api.metrics.DoubleCounter;
+import io.opentelemetry.api.metrics.DoubleCounterBuilder;
+import io.opentelemetry.api.metrics.DoubleGaugeBuilder;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
+import io.opentelemetry.api.metrics.DoubleUpDownCounter;
+import io.opentelemetry.api.metrics.DoubleUpDownCounterBuilder;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongCounterBuilder;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.LongHistogramBuilder;
+import io.opentelemetry.api.metrics.LongUpDownCounter;
+import io.opentelemetry.api.metrics.LongUpDownCounterBuilder;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterBuilder;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.ObservableDoubleCounter;
+import io.opentelemetry.api.metrics.ObservableDoubleMeasurement;
+import io.opentelemetry.api.metrics.ObservableDoubleUpDownCounter;
+import io.opentelemetry.api.metrics.ObservableLongCounter;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import io.opentelemetry.api.metrics.ObservableLongUpDownCounter;
+import io.opentelemetry.api.metrics.ObservableMeasurement;
+import io.opentelemetry.context.Context;
+import java.util.function.Consumer;
+
+/**
+ * A {@link MeterProvider} which times recordings to synchronous instruments. Asynchronous
+ * instruments are observed during collection rather than on the request path, so they are passed
+ * through to the delegate as is.
+ *
+ * <p>Meters of OpenTelemetry instrumentation libraries, such as the Spring WebMVC instrumentation's
+ * {@code http.server.duration} histogram, are also passed through. Those libraries set attribute
+ * and bucket advice through the incubator's extended instrument builders, which the SDK's builders
+ * implement but these wrappers don't, so wrapping them would silently drop the advice. Their
+ * recordings are therefore not included in the measured overhead.
+ */
+final class SelfProfilingMeterProvider implements MeterProvider {
+
+  private static final String INSTRUMENTATION_SCOPE_PREFIX = "io.opentelemetry.";
+
+  private final MeterProvider delegate;
+
+  SelfProfilingMeterProvider(MeterProvider delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public MeterBuilder meterBuilder(String instrumentationScopeName) {
+    MeterBuilder meterBuilder = delegate.meterBuilder(instrumentationScopeName);
+    if (instrumentationScopeName.startsWith(INSTRUMENTATION_SCOPE_PREFIX)) {
+      return meterBuilder;
+    }
+    return new ProfilingMeterBuilder(meterBuilder);
+  }
+
+  private static class ProfilingMeterBuilder implements MeterBuilder {
+
+    private final MeterBuilder delegate;
+
+    private ProfilingMeterBuilder(MeterBuilder delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public MeterBuilder setSchemaUrl(String schemaUrl) {
+      delegate.setSchemaUrl(schemaUrl);
+      return this;
+    }
+
+    @Override
+    public MeterBuilder setInstrumentationVersion(String instrumentationScopeVersion) {
+      delegate.setInstrumentationVersion(instrumentationScopeVersion);
+      return this;
+    }
+
+    @Override
+    public Meter build() {
+      return new ProfilingMeter(delegate.build());
+    }
+  }
+
+  private static class ProfilingMeter implements Meter {
+
+    private final Meter delegate;
+
+    private ProfilingMeter(Meter delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public LongCounterBuilder counterBuilder(String name) {
+      return new ProfilingLongCounterBuilder(delegate.counterBuilder(name));
+    }
+
+    @Override
+    public LongUpDownCounterBuilder upDownCounterBuilder(String name) {
+      return new ProfilingLongUpDownCounterBuilder(delegate.upDownCounterBuilder(name));
+    }
+
+    @Override
+    public DoubleHistogramBuilder histogramBuilder(String name) {
+      return new ProfilingDoubleHistogramBuilder(delegate.histogramBuilder(name));
+    }
+
+    @Override
+    public DoubleGaugeBuilder gaugeBuilder(String name) {
+      return delegate.gaugeBuilder(name);
+    }
+
+    @Override
+    public BatchCallback batchCallback(
+        Runnable callback,
+        ObservableMeasurement observableMeasurement,
+        ObservableMeasurement... additionalMeasurements) {
+      return delegate.batchCallback(callback, observableMeasurement, additionalMeasurements);
+    }
+  }
+
+  private static class ProfilingLongCounterBuilder implements LongCounterBuilder {
+
+    private final LongCounterBuilder delegate;
+
+    private ProfilingLongCounterBuilder(LongCounterBuilder delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public LongCounterBuilder setDescription(String description) {
+      delegate.setDescription(description);
+      return this;
+    }
+
+    @Override
+    public LongCounterBuilder setUnit(String unit) {
+      delegate.setUnit(unit);
+      return this;
+    }
+
+    @Override
+    public DoubleCounterBuilder ofDoubles() {
+      return new ProfilingDoubleCounterBuilder(delegate.ofDoubles());
+    }
+
+    @Override
+    public LongCounter build() {
+      LongCounter counter = delegate.build();
+      return new LongCounter() {
+        @Override
+        public void add(long value) {
+          add(value, Attributes.empty(), Context.current());
+        }
+
+        @Override
+        public void add(long value, Attributes attributes) {
+          add(value, attributes, Context.current());
+        }
+
+        @Override
+        public void add(long value, Attributes attributes, Context context) {
+          long start = SelfProfilingOpenTelemetry.start();
+          counter.add(value, attributes, context);
+          SelfProfilingOpenTelemetry.stop(start);
+        }
+      };
+    }
+
+    @Override
+    public ObservableLongCounter buildWithCallback(Consumer<ObservableLongMeasurement> callback) {
+      return delegate.buildWithCallback(callback);
+    }
+
+    @Override
+    public ObservableLongMeasurement buildObserver() {
+      return delegate.buildObserver();
+    }
+  }
+
+  private static class ProfilingDoubleCounterBuilder implements DoubleCounterBuilder {
+
+    private final DoubleCounterBuilder delegate;
+
+    private ProfilingDoubleCounterBuilder(DoubleCounterBuilder delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public DoubleCounterBuilder setDescription(String description) {
+      delegate.setDescription(description);
+      return this;
+    }
+
+    @Override
+    public DoubleCounterBuilder setUnit(String unit) {
+      delegate.setUnit(unit);
+      return this;
+    }
+
+    @Override
+    public DoubleCounter build() {
+      DoubleCounter counter = delegate.build();
+      return new DoubleCounter() {
+        @Override
+        public void add(double value) {
+          add(value, Attributes.empty(), Context.current());
+        }
+
+        @Override
+        public void add(double value, Attributes attributes) {
+          add(value, attributes, Context.current());
+        }
+
+        @Override
+        public void add(double value, Attributes attributes, Context context) {
+          long start = SelfProfilingOpenTelemetry.start();
+          counter.add(value, attributes, context);
+          SelfProfilingOpenTelemetry.stop(start);
+        }
+      };
+    }
+
+    @Override
+    public ObservableDoubleCounter buildWithCallback(
+        Consumer<ObservableDoubleMeasurement> callback) {
+      return delegate.buildWithCallback(callback);
+    }
+
+    @Override
+    public ObservableDoubleMeasurement buildObserver() {
+      return delegate.buildObserver();
+    }
+  }
+
+  private static class ProfilingLongUpDownCounterBuilder implements LongUpDownCounterBuilder {
+
+    private final LongUpDownCounterBuilder delegate;
+
+    private ProfilingLongUpDownCounterBuilder(LongUpDownCounterBuilder delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public LongUpDownCounterBuilder setDescription(String description) {
+      delegate.setDescription(description);
+      return this;
+    }
+
+    @Override
+    public LongUpDownCounterBuilder setUnit(String unit) {
+      delegate.setUnit(unit);
+      return this;
+    }
+
+    @Override
+    public DoubleUpDownCounterBuilder ofDoubles() {
+      return new ProfilingDoubleUpDownCounterBuilder(delegate.ofDoubles());
+    }
+
+    @Override
+    public LongUpDownCounter build() {
+      LongUpDownCounter counter = delegate.build();
+      return new LongUpDownCounter() {
+        @Override
+        public void add(long value) {
+          add(value, Attributes.empty(), Context.current());
+        }
+
+        @Override
+        public void add(long value, Attributes attributes) {
+          add(value, attributes, Context.current());
+        }
+
+        @Override
+        public void add(long value, Attributes attributes, Context context) {
+          long start = SelfProfilingOpenTelemetry.start();
+          counter.add(value, attributes, context);
+          SelfProfilingOpenTelemetry.stop(start);
+        }
+      };
+    }
+
+    @Override
+    public ObservableLongUpDownCounter buildWithCallback(
+        Consumer<ObservableLongMeasurement> callback) {
+      return delegate.buildWithCallback(callback);
+    }
+
+    @Override
+    public ObservableLongMeasurement buildObserver() {
+      return delegate.buildObserver();
+    }
+  }
+
+  private static class ProfilingDoubleUpDownCounterBuilder implements DoubleUpDownCounterBuilder {
+
+    private final DoubleUpDownCounterBuilder delegate;
+
+    private ProfilingDoubleUpDownCounterBuilder(DoubleUpDownCounterBuilder delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public DoubleUpDownCounterBuilder setDescription(String description) {
+      delegate.setDescription(description);
+      return this;
+    }
+
+    @Override
+    public DoubleUpDownCounterBuilder setUnit(String unit) {
+      delegate.setUnit(unit);
+      return this;
+    }
+
+    @Override
+    public DoubleUpDownCounter build() {
+      DoubleUpDownCounter counter = delegate.build();
+      return new DoubleUpDownCounter() {
+        @Override
+        public void add(double value) {
+          add(value, Attributes.empty(), Context.current());
+        }
+
+        @Override
+        public void add(double value, Attributes attributes) {
+          add(value, attributes, Context.current());
+        }
+
+        @Override
+        public void add(double value, Attributes attributes, Context context) {
+          long start = SelfProfilingOpenTelemetry.start();
+          counter.add(value, attributes, context);
+          SelfProfilingOpenTelemetry.stop(start);
+        }
+      };
+    }
+
+    @Override
+    public ObservableDoubleUpDownCounter buildWithCallback(
+        Consumer<ObservableDoubleMeasurement> callback) {
+      return delegate.buildWithCallback(callback);
+    }
+
+    @Override
+    public ObservableDoubleMeasurement buildObserver() {
+      return delegate.buildObserver();
+    }
+  }
+
+  private static class ProfilingDoubleHistogramBuilder implements DoubleHistogramBuilder {
+
+    private final DoubleHistogramBuilder delegate;
+
+    private ProfilingDoubleHistogramBuilder(DoubleHistogramBuilder delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public DoubleHistogramBuilder setDescription(String description) {
+      delegate.setDescription(description);
+      return this;
+    }
+
+    @Override
+    public DoubleHistogramBuilder setUnit(String unit) {
+      delegate.setUnit(unit);
+      return this;
+    }
+
+    @Override
+    public LongHistogramBuilder ofLongs() {
+      return new ProfilingLongHistogramBuilder(delegate.ofLongs());
+    }
+
+    @Override
+    public DoubleHistogram build() {
+      DoubleHistogram histogram = delegate.build();
+      return new DoubleHistogram() {
+        @Override
+        public void record(double value) {
+          record(value, Attributes.empty(), Context.current());
+        }
+
+        @Override
+        public void record(double value, Attributes attributes) {
+          record(value, attributes, Context.current());
+        }
+
+        @Override
+        public void record(double value, Attributes attributes, Context context) {
+          long start = SelfProfilingOpenTelemetry.start();
+          histogram.record(value, attributes, context);
+          SelfProfilingOpenTelemetry.stop(start);
+        }
+      };
+    }
+  }
+
+  private static class ProfilingLongHistogramBuilder implements LongHistogramBuilder {
+
+    private final LongHistogramBuilder delegate;
+
+    private ProfilingLongHistogramBuilder(LongHistogramBuilder delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public LongHistogramBuilder setDescription(String description) {
+      delegate.setDescription(description);
+      return this;
+    }
+
+    @Override
+    public LongHistogramBuilder setUnit(String unit) {
+      delegate.setUnit(unit);
+      return this;
+    }
+
+    @Override
+    public LongHistogram build() {
+      LongHistogram histogram = delegate.build();
+      return new LongHistogram() {
+        @Override
+        public void record(long value) {
+          record(value, Attributes.empty(), Context.current());
+        }
+
+        @Override
+        public void record(long value, Attributes attributes) {
+          record(value, attributes, Context.current());
+        }
+
+        @Override
+        public void record(long value, Attributes attributes, Context context) {
+          long start = SelfProfilingOpenTelemetry.start();
+          histogram.record(value, attributes, context);
+          SelfProfilingOpenTelemetry.stop(start);
+        }
+      };
+    }
+  }
+}
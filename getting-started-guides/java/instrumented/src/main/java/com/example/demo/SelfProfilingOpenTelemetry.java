@@ -0,0 +1,119 @@
+package com.example.demo;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.logs.LoggerProvider;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.trace.TracerProvider;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
+import io.opentelemetry.sdk.metrics.View;
+import java.util.Optional;
+
+/**
+ * An {@link OpenTelemetry} which wraps the tracer, meter, and logger providers of a delegate and
+ * measures the time spent inside SDK calls on the request path: span start and end, {@code
+ * makeCurrent}, synchronous instrument recordings of application meters, and log record emits.
+ *
+ * <p>Time is accumulated per thread. When a {@link io.opentelemetry.api.trace.SpanKind#SERVER}
+ * span ends, the SDK time spent on that thread since the span started is recorded to the {@code
+ * otel.sdk.overhead.duration} histogram and as the {@code otel.sdk.overhead_ns} attribute on the
+ * server span. Requests which hop threads are not accounted for.
+ *
+ * <p>The histogram records nanoseconds, for which the default explicit bucket boundaries are too
+ * coarse, so {@link #registerView} gives it an exponential histogram aggregation.
+ *
+ * <p>Enable by setting the system property {@code otel.self.profiling.enabled=true} or the
+ * environment variable {@code OTEL_SELF_PROFILING_ENABLED=true}.
+ */
+final class SelfProfilingOpenTelemetry implements OpenTelemetry {
+
+  static final AttributeKey<Long> OVERHEAD_ATTRIBUTE = AttributeKey.longKey("otel.sdk.overhead_ns");
+
+  private static final String OVERHEAD_HISTOGRAM = "otel.sdk.overhead.duration";
+
+  // A single element array avoids boxing on every update
+  private static final ThreadLocal<long[]> ELAPSED_NANOS =
+      ThreadLocal.withInitial(() -> new long[1]);
+
+  private final OpenTelemetry delegate;
+  private final TracerProvider tracerProvider;
+  private final MeterProvider meterProvider;
+  private final LoggerProvider loggerProvider;
+
+  private SelfProfilingOpenTelemetry(OpenTelemetry delegate) {
+    this.delegate = delegate;
+    // Record overhead using the unwrapped meter so the measurement doesn't measure itself
+    LongHistogram overheadHistogram =
+        delegate
+            .getMeter(SelfProfilingOpenTelemetry.class.getName())
+            .histogramBuilder(OVERHEAD_HISTOGRAM)
+            .setDescription("Time spent inside OpenTelemetry SDK calls per server request.")
+            .setUnit("ns")
+            .ofLongs()
+            .build();
+    this.tracerProvider =
+        new SelfProfilingTracerProvider(delegate.getTracerProvider(), overheadHistogram);
+    this.meterProvider = new SelfProfilingMeterProvider(delegate.getMeterProvider());
+    this.loggerProvider = new SelfProfilingLoggerProvider(delegate.getLogsBridge());
+  }
+
+  /** Returns {@code true} if self profiling is enabled via system property or env var. */
+  static boolean isEnabled() {
+    return Optional.ofNullable(System.getProperty("otel.self.profiling.enabled"))
+        .or(() -> Optional.ofNullable(System.getenv("OTEL_SELF_PROFILING_ENABLED")))
+        .map(Boolean::parseBoolean)
+        .orElse(false);
+  }
+
+  /** Aggregate the overhead histogram as an exponential histogram. */
+  static SdkMeterProviderBuilder registerView(
+      SdkMeterProviderBuilder builder, ConfigProperties config) {
+    return builder.registerView(
+        InstrumentSelector.builder().setName(OVERHEAD_HISTOGRAM).build(),
+        View.builder().setAggregation(Aggregation.base2ExponentialBucketHistogram()).build());
+  }
+
+  static OpenTelemetry wrap(OpenTelemetry delegate) {
+    return new SelfProfilingOpenTelemetry(delegate);
+  }
+
+  /** Start timing an SDK call. Pass the result to {@link #stop(long)} when the call returns. */
+  static long start() {
+    return System.nanoTime();
+  }
+
+  /** Add the time elapsed since {@code startNanos} to the current thread's SDK time. */
+  static void stop(long startNanos) {
+    ELAPSED_NANOS.get()[0] += System.nanoTime() - startNanos;
+  }
+
+  /** Returns the total SDK time accumulated by the current thread. */
+  static long elapsedNanos() {
+    return ELAPSED_NANOS.get()[0];
+  }
+
+  @Override
+  public TracerProvider getTracerProvider() {
+    return tracerProvider;
+  }
+
+  @Override
+  public MeterProvider getMeterProvider() {
+    return meterProvider;
+  }
+
+  @Override
+  public LoggerProvider getLogsBridge() {
+    return loggerProvider;
+  }
+
+  @Override
+  public ContextPropagators getPropagators() {
+    return delegate.getPropagators();
+  }
+}
@@ -0,0 +1,283 @@
+package com.example.demo;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.TracerBuilder;
+import io.opentelemetry.api.trace.TracerProvider;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link TracerProvider} which times span start, span end, and {@code makeCurrent}. Attribute
+ * setters and other cheap calls are passed through untimed, since timing them would cost more
+ * than the calls themselves.
+ */
+final class SelfProfilingTracerProvider implements TracerProvider {
+
+  private final TracerProvider delegate;
+  private final LongHistogram overheadHistogram;
+
+  SelfProfilingTracerProvider(TracerProvider delegate, LongHistogram overheadHistogram) {
+    this.delegate = delegate;
+    this.overheadHistogram = overheadHistogram;
+  }
+
+  @Override
+  public Tracer get(String instrumentationScopeName) {
+    return new ProfilingTracer(delegate.get(instrumentationScopeName));
+  }
+
+  @Override
+  public Tracer get(String instrumentationScopeName, String instrumentationScopeVersion) {
+    return new ProfilingTracer(delegate.get(instrumentationScopeName, instrumentationScopeVersion));
+  }
+
+  @Override
+  public TracerBuilder tracerBuilder(String instrumentationScopeName) {
+    return new ProfilingTracerBuilder(delegate.tracerBuilder(instrumentationScopeName));
+  }
+
+  private class ProfilingTracerBuilder implements TracerBuilder {
+
+    private final TracerBuilder delegate;
+
+    private ProfilingTracerBuilder(TracerBuilder delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public TracerBuilder setSchemaUrl(String schemaUrl) {
+      delegate.setSchemaUrl(schemaUrl);
+      return this;
+    }
+
+    @Override
+    public TracerBuilder setInstrumentationVersion(String instrumentationScopeVersion) {
+      delegate.setInstrumentationVersion(instrumentationScopeVersion);
+      return this;
+    }
+
+    @Override
+    public Tracer build() {
+      return new ProfilingTracer(delegate.build());
+    }
+  }
+
+  private class ProfilingTracer implements Tracer {
+
+    private final Tracer delegate;
+
+    private ProfilingTracer(Tracer delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public SpanBuilder spanBuilder(String spanName) {
+      return new ProfilingSpanBuilder(delegate.spanBuilder(spanName));
+    }
+  }
+
+  private class ProfilingSpanBuilder implements SpanBuilder {
+
+    private final SpanBuilder delegate;
+    private SpanKind spanKind = SpanKind.INTERNAL;
+
+    private ProfilingSpanBuilder(SpanBuilder delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public SpanBuilder setParent(Context context) {
+      delegate.setParent(context);
+      return this;
+    }
+
+    @Override
+    public SpanBuilder setNoParent() {
+      delegate.setNoParent();
+      return this;
+    }
+
+    @Override
+    public SpanBuilder addLink(SpanContext spanContext) {
+      delegate.addLink(spanContext);
+      return this;
+    }
+
+    @Override
+    public SpanBuilder addLink(SpanContext spanContext, Attributes attributes) {
+      delegate.addLink(spanContext, attributes);
+      return this;
+    }
+
+    @Override
+    public SpanBuilder setAttribute(String key, String value) {
+      delegate.setAttribute(key, value);
+      return this;
+    }
+
+    @Override
+    public SpanBuilder setAttribute(String key, long value) {
+      delegate.setAttribute(key, value);
+      return this;
+    }
+
+    @Override
+    public SpanBuilder setAttribute(String key, double value) {
+      delegate.setAttribute(key, value);
+      return this;
+    }
+
+    @Override
+    public SpanBuilder setAttribute(String key, boolean value) {
+      delegate.setAttribute(key, value);
+      return this;
+    }
+
+    @Override
+    public <T> SpanBuilder setAttribute(AttributeKey<T> key, T value) {
+      delegate.setAttribute(key, value);
+      return this;
+    }
+
+    @Override
+    public SpanBuilder setSpanKind(SpanKind spanKind) {
+      this.spanKind = spanKind;
+      delegate.setSpanKind(spanKind);
+      return this;
+    }
+
+    @Override
+    public SpanBuilder setStartTimestamp(long startTimestamp, TimeUnit unit) {
+      delegate.setStartTimestamp(startTimestamp, unit);
+      return this;
+    }
+
+    @Override
+    public Span startSpan() {
+      // Snapshot the thread's SDK time before starting so server spans account for their own start
+      long elapsedAtStart = SelfProfilingOpenTelemetry.elapsedNanos();
+      long start = SelfProfilingOpenTelemetry.start();
+      Span span = delegate.startSpan();
+      SelfProfilingOpenTelemetry.stop(start);
+      if (spanKind != SpanKind.SERVER) {
+        return new ProfilingSpan(span, null, 0);
+      }
+      return new ProfilingSpan(span, Thread.currentThread(), elapsedAtStart);
+    }
+  }
+
+  private class ProfilingSpan implements Span {
+
+    private final Span delegate;
+    // Only set for server spans, whose overhead is recorded when they end
+    private final Thread serverThread;
+    private final long elapsedAtStart;
+
+    private ProfilingSpan(Span delegate, Thread serverThread, long elapsedAtStart) {
+      this.delegate = delegate;
+      this.serverThread = serverThread;
+      this.elapsedAtStart = elapsedAtStart;
+    }
+
+    @Override
+    public <T> Span setAttribute(AttributeKey<T> key, T value) {
+      delegate.setAttribute(key, value);
+      return this;
+    }
+
+    @Override
+    public Span addEvent(String name, Attributes attributes) {
+      delegate.addEvent(name, attributes);
+      return this;
+    }
+
+    @Override
+    public Span addEvent(String name, Attributes attributes, long timestamp, TimeUnit unit) {
+      delegate.addEvent(name, attributes, timestamp, unit);
+      return this;
+    }
+
+    @Override
+    public Span setStatus(StatusCode statusCode, String description) {
+      delegate.setStatus(statusCode, description);
+      return this;
+    }
+
+    @Override
+    public Span recordException(Throwable exception, Attributes additionalAttributes) {
+      delegate.recordException(exception, additionalAttributes);
+      return this;
+    }
+
+    @Override
+    public Span updateName(String name) {
+      delegate.updateName(name);
+      return this;
+    }
+
+    @Override
+    public void end() {
+      beforeEnd();
+      long start = SelfProfilingOpenTelemetry.start();
+      delegate.end();
+      SelfProfilingOpenTelemetry.stop(start);
+      afterEnd();
+    }
+
+    @Override
+    public void end(long timestamp, TimeUnit unit) {
+      beforeEnd();
+      long start = SelfProfilingOpenTelemetry.start();
+      delegate.end(timestamp, unit);
+      SelfProfilingOpenTelemetry.stop(start);
+      afterEnd();
+    }
+
+    @Override
+    public SpanContext getSpanContext() {
+      return delegate.getSpanContext();
+    }
+
+    @Override
+    public boolean isRecording() {
+      return delegate.isRecording();
+    }
+
+    @Override
+    public Scope makeCurrent() {
+      // Store this wrapper rather than the delegate in context so Span.current() stays profiled
+      long start = SelfProfilingOpenTelemetry.start();
+      Scope scope = Context.current().with(this).makeCurrent();
+      SelfProfilingOpenTelemetry.stop(start);
+      return scope;
+    }
+
+    private boolean isServerSpanOnStartThread() {
+      return serverThread == Thread.currentThread();
+    }
+
+    private void beforeEnd() {
+      if (isServerSpanOnStartThread()) {
+        delegate.setAttribute(
+            SelfProfilingOpenTelemetry.OVERHEAD_ATTRIBUTE,
+            SelfProfilingOpenTelemetry.elapsedNanos() - elapsedAtStart);
+      }
+    }
+
+    private void afterEnd() {
+      // The histogram includes the cost of ending the server span, which the attribute cannot
+      if (isServerSpanOnStartThread()) {
+        overheadHistogram.record(SelfProfilingOpenTelemetry.elapsedNanos() - elapsedAtStart);
+      }
+    }
+  }
+}
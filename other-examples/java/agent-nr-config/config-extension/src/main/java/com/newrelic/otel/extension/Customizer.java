@@ -6,6 +6,9 @@ import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.contrib.sampler.RuleBasedRoutingSampler;
 import io.opentelemetry.sdk.autoconfigure.spi.AutoConfigurationCustomizer;
 import io.opentelemetry.sdk.autoconfigure.spi.AutoConfigurationCustomizerProvider;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.View;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
@@ -28,11 +31,29 @@ public class Customizer implements AutoConfigurationCustomizerProvider {
     // Set the sampler to be the default parentbased_always_on, but drop calls to spring
     // boot actuator endpoints
     autoConfiguration.addTracerProviderCustomizer(
-        (sdkTracerProviderBuilder, configProperties) ->
-            sdkTracerProviderBuilder.setSampler(
-                Sampler.parentBased(
-                    RuleBasedRoutingSampler.builder(SpanKind.SERVER, Sampler.alwaysOn())
-                        .drop(SemanticAttributes.HTTP_TARGET, "/actuator.*")
-                        .build())));
+        (sdkTracerProviderBuilder, configProperties) -> {
+          Sampler sampler =
+              Sampler.parentBased(
+                  RuleBasedRoutingSampler.builder(SpanKind.SERVER, Sampler.alwaysOn())
+                      .drop(SemanticAttributes.HTTP_TARGET, "/actuator.*")
+                      .build());
+          // Optionally measure the time spent making sampling decisions
+          if (configProperties.getBoolean("otel.self.profiling.enabled", false)) {
+            sampler = new SelfProfilingSampler(sampler);
+          }
+          return sdkTracerProviderBuilder.setSampler(sampler);
+        });
+
+    // Aggregate the sampler duration histogram, which records nanoseconds, as an exponential
+    // histogram since the default explicit bucket boundaries are sized for milliseconds
+    autoConfiguration.addMeterProviderCustomizer(
+        (sdkMeterProviderBuilder, configProperties) ->
+            sdkMeterProviderBuilder.registerView(
+                InstrumentSelector.builder()
+                    .setName(SelfProfilingSampler.DURATION_HISTOGRAM)
+                    .build(),
+                View.builder()
+                    .setAggregation(Aggregation.base2ExponentialBucketHistogram())
+                    .build()));
   }
 }
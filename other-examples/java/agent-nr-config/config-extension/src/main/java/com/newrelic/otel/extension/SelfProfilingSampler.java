@@ -0,0 +1,95 @@
+package com.newrelic.otel.extension;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.List;
+
+/**
+ * A {@link Sampler} which measures the time spent making each sampling decision. The agent owns
+ * the SDK, so the sampler is the part of the span start hot path an extension can wrap.
+ *
+ * <p>Durations are recorded to the {@code otel.sdk.sampler.duration} histogram, and added as the
+ * {@code otel.sdk.sampler.duration_ns} attribute to sampled server spans.
+ */
+public class SelfProfilingSampler implements Sampler {
+
+  static final String DURATION_HISTOGRAM = "otel.sdk.sampler.duration";
+
+  private static final AttributeKey<Long> DURATION_ATTRIBUTE =
+      AttributeKey.longKey("otel.sdk.sampler.duration_ns");
+
+  private final Sampler delegate;
+  private volatile LongHistogram durationHistogram;
+
+  public SelfProfilingSampler(Sampler delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public SamplingResult shouldSample(
+      Context parentContext,
+      String traceId,
+      String name,
+      SpanKind spanKind,
+      Attributes attributes,
+      List<LinkData> parentLinks) {
+    long start = System.nanoTime();
+    SamplingResult result =
+        delegate.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+    long durationNanos = System.nanoTime() - start;
+
+    getDurationHistogram().record(durationNanos);
+    if (spanKind != SpanKind.SERVER || result.getDecision() == SamplingDecision.DROP) {
+      return result;
+    }
+    Attributes resultAttributes =
+        result.getAttributes().toBuilder().put(DURATION_ATTRIBUTE, durationNanos).build();
+    return new SamplingResult() {
+      @Override
+      public SamplingDecision getDecision() {
+        return result.getDecision();
+      }
+
+      @Override
+      public Attributes getAttributes() {
+        return resultAttributes;
+      }
+
+      @Override
+      public TraceState getUpdatedTraceState(TraceState parentTraceState) {
+        return result.getUpdatedTraceState(parentTraceState);
+      }
+    };
+  }
+
+  @Override
+  public String getDescription() {
+    return "SelfProfilingSampler{" + delegate.getDescription() + "}";
+  }
+
+  // The global instance is only installed after the agent finishes autoconfiguration, so the
+  // histogram is resolved lazily on first use
+  private LongHistogram getDurationHistogram() {
+    LongHistogram histogram = durationHistogram;
+    if (histogram == null) {
+      histogram =
+          GlobalOpenTelemetry.getMeter(SelfProfilingSampler.class.getName())
+              .histogramBuilder(DURATION_HISTOGRAM)
+              .setDescription("Time spent making sampling decisions.")
+              .setUnit("ns")
+              .ofLongs()
+              .build();
+      durationHistogram = histogram;
+    }
+    return histogram;
+  }
+}
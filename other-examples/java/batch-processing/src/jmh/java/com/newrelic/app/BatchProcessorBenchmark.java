@@ -0,0 +1,101 @@
+package com.newrelic.app;
+
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares items/sec when recording a span per item against recording an aggregated batch span
+ * with sampled item spans. Spans are exported to a discarding exporter, so the results reflect
+ * the cost of recording and queueing spans rather than network export. The queue holds two whole
+ * batches, leaving room for spans of the previous invocation still being exported, so per item
+ * spans are exported rather than dropped when the queue is full.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class BatchProcessorBenchmark {
+
+  private static final int BATCH_SIZE = 10_000;
+
+  @Param({"PER_ITEM", "AGGREGATED"})
+  public BatchProcessor.SpanMode spanMode;
+
+  @Param({"0.01"})
+  public double itemSampleRatio;
+
+  private OpenTelemetrySdk openTelemetrySdk;
+  private ForkJoinPool executor;
+  private BatchProcessor batchProcessor;
+  private List<Item> items;
+
+  @Setup
+  public void setup() {
+    openTelemetrySdk =
+        OpenTelemetrySdk.builder()
+            .setTracerProvider(
+                SdkTracerProvider.builder()
+                    .addSpanProcessor(
+                        BatchSpanProcessor.builder(new NoopSpanExporter())
+                            .setMaxQueueSize(2 * BATCH_SIZE)
+                            .build())
+                    .build())
+            .setMeterProvider(SdkMeterProvider.builder().build())
+            .build();
+    executor = new ForkJoinPool();
+    batchProcessor =
+        new BatchProcessor(openTelemetrySdk, executor, spanMode, itemSampleRatio, item -> {});
+    // Items link to producer spans like the application's, so the batch span pays for its links
+    items =
+        Application.produceItems(
+            openTelemetrySdk.getTracer(BatchProcessorBenchmark.class.getName()), BATCH_SIZE);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+    openTelemetrySdk.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void process() throws InterruptedException {
+    batchProcessor.process(items);
+  }
+
+  private static class NoopSpanExporter implements SpanExporter {
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.newrelic.app;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class Application {
+
+  // The number of items produced by each simulated upstream request
+  private static final int ITEMS_PER_PRODUCER = 100;
+
+  public static void main(String[] args) throws InterruptedException {
+    OpenTelemetrySdk openTelemetrySdk =
+        AutoConfiguredOpenTelemetrySdk.builder()
+            .addResourceCustomizer(
+                (resource, configProperties) ->
+                    resource.merge(
+                        Resource.builder()
+                            .put("service.instance.id", UUID.randomUUID().toString())
+                            .build()))
+            .build()
+            .getOpenTelemetrySdk();
+
+    BatchProcessor.SpanMode spanMode =
+        BatchProcessor.SpanMode.valueOf(getEnv("BATCH_SPAN_MODE").orElse("AGGREGATED"));
+    double itemSampleRatio =
+        getEnv("BATCH_ITEM_SAMPLE_RATIO").map(Double::parseDouble).orElse(0.01);
+    int batchSize = getEnv("BATCH_SIZE").map(Integer::parseInt).orElse(5_000);
+    int batchCount = getEnv("BATCH_COUNT").map(Integer::parseInt).orElse(60);
+
+    ForkJoinPool executor = new ForkJoinPool();
+    Tracer tracer = openTelemetrySdk.getTracer(Application.class.getName());
+    BatchProcessor batchProcessor =
+        new BatchProcessor(
+            openTelemetrySdk, executor, spanMode, itemSampleRatio, Application::handleItem);
+    try {
+      for (int i = 0; i < batchCount; i++) {
+        batchProcessor.process(produceItems(tracer, batchSize));
+        Thread.sleep(1000);
+      }
+    } finally {
+      executor.shutdown();
+      // Flush any remaining telemetry before exiting
+      openTelemetrySdk.close();
+    }
+  }
+
+  /**
+   * Simulate items produced by upstream requests, each of which is recorded as a producer span
+   * that the batch span links to.
+   */
+  static List<Item> produceItems(Tracer tracer, int batchSize) {
+    List<Item> items = new ArrayList<>(batchSize);
+    Span producerSpan = null;
+    for (int i = 0; i < batchSize; i++) {
+      if (i % ITEMS_PER_PRODUCER == 0) {
+        if (producerSpan != null) {
+          producerSpan.end();
+        }
+        producerSpan =
+            tracer.spanBuilder("produce-items").setSpanKind(SpanKind.PRODUCER).startSpan();
+      }
+      items.add(new Item(UUID.randomUUID().toString(), producerSpan.getSpanContext()));
+    }
+    if (producerSpan != null) {
+      producerSpan.end();
+    }
+    return items;
+  }
+
+  private static void handleItem(Item item) {
+    // Fail ~1% of the time
+    if (ThreadLocalRandom.current().nextInt(100) == 0) {
+      throw new IllegalStateException("Failed to process item " + item.id());
+    }
+  }
+
+  private static Optional<String> getEnv(String name) {
+    return Optional.ofNullable(System.getenv(name)).filter(str -> !str.isBlank());
+  }
+}
@@ -0,0 +1,156 @@
+package com.newrelic.app;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Processes batches of items in parallel on an {@link ExecutorService}.
+ *
+ * <p>Each batch is recorded as a single span, linked to the spans which produced its items. In
+ * {@link SpanMode#AGGREGATED} mode, only a sampled fraction of items are recorded as child spans
+ * of the batch span. In {@link SpanMode#PER_ITEM} mode, every item is recorded as a span, which
+ * is simple but multiplies export volume by the batch size.
+ */
+public class BatchProcessor {
+
+  /** Controls which items are recorded as spans. */
+  public enum SpanMode {
+    PER_ITEM,
+    AGGREGATED
+  }
+
+  // Matches the SDK default span link limit, beyond which links are dropped
+  private static final int MAX_LINKS = 128;
+
+  private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private static final AttributeKey<Long> ATTR_BATCH_SIZE = AttributeKey.longKey("batch.size");
+  private static final AttributeKey<Long> ATTR_BATCH_FAILED =
+      AttributeKey.longKey("batch.items.failed");
+  private static final AttributeKey<String> ATTR_ITEM_ID = AttributeKey.stringKey("batch.item.id");
+  private static final Attributes SUCCESS =
+      Attributes.of(AttributeKey.stringKey("outcome"), "success");
+  private static final Attributes FAILURE =
+      Attributes.of(AttributeKey.stringKey("outcome"), "failure");
+
+  private final Tracer tracer;
+  private final LongCounter itemsProcessed;
+  private final DoubleHistogram queueLag;
+  private final ExecutorService executor;
+  private final SpanMode spanMode;
+  private final double itemSampleRatio;
+  private final Consumer<Item> handler;
+
+  /**
+   * Create a batch processor.
+   *
+   * @param itemSampleRatio the fraction of items recorded as spans in {@link SpanMode#AGGREGATED}
+   *     mode, between 0 and 1
+   * @param handler processes a single item, throwing an exception if it fails
+   */
+  public BatchProcessor(
+      OpenTelemetry openTelemetry,
+      ExecutorService executor,
+      SpanMode spanMode,
+      double itemSampleRatio,
+      Consumer<Item> handler) {
+    tracer = openTelemetry.getTracer(BatchProcessor.class.getName());
+    Meter meter = openTelemetry.getMeter(BatchProcessor.class.getName());
+    itemsProcessed =
+        meter
+            .counterBuilder("batch.items.processed")
+            .setDescription("The number of batch items processed.")
+            .build();
+    queueLag =
+        meter
+            .histogramBuilder("batch.item.queue.lag")
+            .setDescription("Time items wait between being submitted and starting processing.")
+            .setUnit("ms")
+            .build();
+    // Propagate the context of the submitting thread to tasks, so items can parent to the batch
+    this.executor = Context.taskWrapping(executor);
+    this.spanMode = spanMode;
+    this.itemSampleRatio = itemSampleRatio;
+    this.handler = handler;
+  }
+
+  /** Process the {@code items}, blocking until all have completed. */
+  public void process(List<Item> items) throws InterruptedException {
+    SpanBuilder spanBuilder =
+        tracer
+            .spanBuilder("process-batch")
+            .setSpanKind(SpanKind.CONSUMER)
+            .setAttribute(ATTR_BATCH_SIZE, (long) items.size());
+    // Link to the traces which produced the items instead of parenting to any one of them
+    items.stream()
+        .map(Item::producerContext)
+        .filter(SpanContext::isValid)
+        .distinct()
+        .limit(MAX_LINKS)
+        .forEach(spanBuilder::addLink);
+    Span span = spanBuilder.startSpan();
+
+    LongAdder failed = new LongAdder();
+    try (Scope scope = span.makeCurrent()) {
+      List<Callable<Void>> tasks = new ArrayList<>(items.size());
+      for (Item item : items) {
+        long submittedNanos = System.nanoTime();
+        tasks.add(
+            () -> {
+              processItem(item, submittedNanos, failed);
+              return null;
+            });
+      }
+      executor.invokeAll(tasks);
+    } finally {
+      span.setAttribute(ATTR_BATCH_FAILED, failed.sum());
+      if (failed.sum() > 0) {
+        span.setStatus(StatusCode.ERROR, failed.sum() + " items failed");
+      }
+      span.end();
+    }
+  }
+
+  private void processItem(Item item, long submittedNanos, LongAdder failed) {
+    queueLag.record((System.nanoTime() - submittedNanos) / NANOS_PER_MILLI);
+
+    boolean recordSpan =
+        spanMode == SpanMode.PER_ITEM || ThreadLocalRandom.current().nextDouble() < itemSampleRatio;
+    // The batch span is current on this thread, so the item span is its child. Items which are not
+    // recorded use the invalid span, whose methods are no-ops.
+    Span span =
+        recordSpan
+            ? tracer.spanBuilder("process-item").setAttribute(ATTR_ITEM_ID, item.id()).startSpan()
+            : Span.getInvalid();
+    try (Scope scope = recordSpan ? span.makeCurrent() : Scope.noop()) {
+      handler.accept(item);
+      itemsProcessed.add(1, SUCCESS);
+    } catch (RuntimeException e) {
+      span.recordException(e).setStatus(StatusCode.ERROR, e.getMessage());
+      failed.increment();
+      itemsProcessed.add(1, FAILURE);
+    } finally {
+      span.end();
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package com.newrelic.app;
+
+import io.opentelemetry.api.trace.SpanContext;
+
+/**
+ * A unit of work processed as part of a batch.
+ *
+ * @param id identifies the item
+ * @param producerContext the context of the span which produced the item, or {@link
+ *     SpanContext#getInvalid()} if it was produced outside a trace
+ */
+public record Item(String id, SpanContext producerContext) {}
@@ -1,25 +1,44 @@
 package com.newrelic.app;
 
+import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
 import io.opentelemetry.sdk.resources.Resource;
+import java.time.Duration;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
 
 @SpringBootApplication
 public class Application {
 
+  private static volatile OpenTelemetrySdk openTelemetrySdk;
+
   public static void main(String[] args) {
-    AutoConfiguredOpenTelemetrySdk.builder()
-        .addResourceCustomizer(
-            (resource, configProperties) ->
-                resource.merge(
-                    Resource.builder()
-                        .put("service.instance.id", UUID.randomUUID().toString())
-                        .build()))
-        .setResultAsGlobal()
-        .build();
+    openTelemetrySdk =
+        AutoConfiguredOpenTelemetrySdk.builder()
+            // Optionally select OTLP exporter settings by performance profile
+            .addPropertiesCustomizer(OtlpExporterProfile::customizeProperties)
+            .addResourceCustomizer(
+                (resource, configProperties) ->
+                    resource.merge(
+                        Resource.builder()
+                            .put("service.instance.id", UUID.randomUUID().toString())
+                            .build()))
+            .setResultAsGlobal()
+            // The SDK is shut down by openTelemetrySdkShutdown when Spring stops, within a deadline
+            .disableShutdownHook()
+            .build()
+            .getOpenTelemetrySdk();
 
     SpringApplication.run(Application.class, args);
   }
+
+  // Flush and shut down the SDK when the application stops, bounded by otel.sdk.shutdown.timeout
+  @Bean
+  public OpenTelemetrySdkShutdown openTelemetrySdkShutdown(
+      @Value("${otel.sdk.shutdown.timeout:10s}") Duration timeout) {
+    return new OpenTelemetrySdkShutdown(openTelemetrySdk, timeout);
+  }
 }
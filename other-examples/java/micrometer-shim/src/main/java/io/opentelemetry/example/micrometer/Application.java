@@ -15,6 +15,7 @@ import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
 import io.opentelemetry.sdk.resources.Resource;
 import java.time.Duration;
 import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -32,8 +33,9 @@ public class Application {
     return new TimedAspect(registry);
   }
 
-  @Bean
-  public OpenTelemetry openTelemetry() {
+  // The SDK is shut down by openTelemetrySdkShutdown, rather than the inferred close method
+  @Bean(destroyMethod = "")
+  public OpenTelemetrySdk openTelemetry() {
     return OpenTelemetrySdk.builder()
         .setMeterProvider(
             SdkMeterProvider.builder()
@@ -47,12 +49,22 @@ public class Application {
                 .registerMetricReader(
                     PeriodicMetricReader.builder(
                             OtlpGrpcMetricExporter.builder()
-                                .setEndpoint("https://otlp.nr-data.net:4317")
+                                // Export to New Relic, unless overridden by the environment
+                                .setEndpoint(
+                                    Optional.ofNullable(
+                                            System.getenv("OTEL_EXPORTER_OTLP_ENDPOINT"))
+                                        .filter(str -> !str.isBlank())
+                                        .orElse("https://otlp.nr-data.net:4317"))
                                 .addHeader(
                                     "api-key",
                                     Optional.ofNullable(System.getenv("NEW_RELIC_LICENSE_KEY"))
                                         .filter(str -> !str.isEmpty() && !str.isBlank())
                                         .orElseThrow())
+                                // Optionally select compression by performance profile
+                                .setCompression(
+                                    OtlpExporterProfile.fromEnvironment()
+                                        .map(OtlpExporterProfile::getCompression)
+                                        .orElse("none"))
                                 // IMPORTANT: New Relic requires metrics to be delta temporality
                                 .setAggregationTemporalitySelector(
                                     AggregationTemporalitySelector.deltaPreferred())
@@ -72,6 +84,14 @@ public class Application {
         .build();
   }
 
+  // Flush and shut down the SDK when the application stops, bounded by otel.sdk.shutdown.timeout
+  @Bean
+  public OpenTelemetrySdkShutdown openTelemetrySdkShutdown(
+      OpenTelemetrySdk openTelemetrySdk,
+      @Value("${otel.sdk.shutdown.timeout:10s}") Duration timeout) {
+    return new OpenTelemetrySdkShutdown(openTelemetrySdk, timeout);
+  }
+
   @Bean
   public MeterRegistry meterRegistry(OpenTelemetry openTelemetry) {
     return OpenTelemetryMeterRegistry.builder(openTelemetry).build();
@@ -0,0 +1,68 @@
+package io.opentelemetry.example.micrometer;
+
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Shuts down the OpenTelemetry SDK when the Spring context closes, which Spring Boot also does on
+ * SIGTERM. The SDK only exports metrics, which are flushed waiting at most {@code timeout}, so a
+ * slow exporter can't stall a deploy. Whether metrics flushed in time is logged.
+ */
+class OpenTelemetrySdkShutdown implements DisposableBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OpenTelemetrySdkShutdown.class);
+
+  private final OpenTelemetrySdk openTelemetrySdk;
+  private final Duration timeout;
+
+  OpenTelemetrySdkShutdown(OpenTelemetrySdk openTelemetrySdk, Duration timeout) {
+    this.openTelemetrySdk = openTelemetrySdk;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public void destroy() {
+    CompletableResultCode result =
+        shutdownInBackground(openTelemetrySdk.getSdkMeterProvider()::shutdown);
+    result.join(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+    if (result.isSuccess()) {
+      LOGGER.info("Flushed OpenTelemetry metrics");
+    } else {
+      LOGGER.warn(
+          "OpenTelemetry did not flush metrics ({}) within {}, unexported metrics were dropped",
+          result.isDone() ? "export failed" : "timed out",
+          timeout);
+    }
+  }
+
+  // The meter provider blocks while shutting down, so it is shut down on its own thread. The thread
+  // is a daemon so it doesn't keep the JVM alive if it outlives the timeout.
+  private static CompletableResultCode shutdownInBackground(
+      Supplier<CompletableResultCode> shutdown) {
+    CompletableResultCode result = new CompletableResultCode();
+    Thread thread =
+        new Thread(
+            () -> {
+              CompletableResultCode shutdownResult = shutdown.get();
+              shutdownResult.whenComplete(
+                  () -> {
+                    if (shutdownResult.isSuccess()) {
+                      result.succeed();
+                    } else {
+                      result.fail();
+                    }
+                  });
+            },
+            "otel-sdk-shutdown");
+    thread.setDaemon(true);
+    thread.start();
+    return result;
+  }
+}
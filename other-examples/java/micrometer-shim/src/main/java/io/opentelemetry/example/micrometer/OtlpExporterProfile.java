@@ -0,0 +1,51 @@
+package io.opentelemetry.example.micrometer;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * OTLP exporter settings selected with the {@code OTEL_EXPORTER_OTLP_PROFILE} environment
+ * variable. Profiles only select compression, since the protocol also decides the endpoint's port.
+ * The otlp-exporter-benchmark module measures the trade-off between the profiles.
+ */
+enum OtlpExporterProfile {
+  // Gzip compress payloads, spending exporter CPU to send fewer bytes
+  LOW_EGRESS("gzip"),
+  // Send payloads uncompressed, which is also the exporters' default
+  LOW_CPU("none");
+
+  private final String compression;
+
+  OtlpExporterProfile(String compression) {
+    this.compression = compression;
+  }
+
+  String getCompression() {
+    return compression;
+  }
+
+  /** Returns the profile selected by the environment, if any. */
+  static Optional<OtlpExporterProfile> fromEnvironment() {
+    return Optional.ofNullable(System.getenv("OTEL_EXPORTER_OTLP_PROFILE"))
+        .filter(str -> !str.isBlank())
+        .map(OtlpExporterProfile::parse);
+  }
+
+  private static OtlpExporterProfile parse(String profile) {
+    for (OtlpExporterProfile value : values()) {
+      if (value.name().equalsIgnoreCase(profile)) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unrecognized value for OTEL_EXPORTER_OTLP_PROFILE: "
+            + profile
+            + " (expected one of: "
+            + Arrays.stream(values())
+                .map(value -> value.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(", "))
+            + ")");
+  }
+}
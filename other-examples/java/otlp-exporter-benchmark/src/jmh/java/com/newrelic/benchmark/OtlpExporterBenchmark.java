@@ -0,0 +1,221 @@
+package com.newrelic.benchmark;
+
+import com.sun.management.OperatingSystemMXBean;
+import io.opentelemetry.exporter.otlp.http.logs.OtlpHttpLogRecordExporter;
+import io.opentelemetry.exporter.otlp.http.metrics.OtlpHttpMetricExporter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.exporter.otlp.logs.OtlpGrpcLogRecordExporter;
+import io.opentelemetry.exporter.otlp.metrics.OtlpGrpcMetricExporter;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures exporting a representative batch of spans, metrics, or logs to a {@link
+ * LocalOtlpReceiver} for each combination of OTLP protocol and compression.
+ *
+ * <p>The score is the export latency. The {@code gc} profiler reports allocation per export as
+ * {@code gc.alloc.rate.norm}, and the {@link ExportCounters} report the payload bytes and process
+ * CPU time of the exports. The receiver runs in a separate process so the CPU time only includes
+ * the exporter, along with the JVM's own background work such as GC.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OtlpExporterBenchmark {
+
+  private static final OperatingSystemMXBean OPERATING_SYSTEM =
+      (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+  @Param({"spans", "metrics", "logs"})
+  public String signal;
+
+  @Param({"grpc", "http/protobuf"})
+  public String protocol;
+
+  @Param({"none", "gzip"})
+  public String compression;
+
+  private Process receiver;
+  private BatchExporter batchExporter;
+  private long payloadBytesPerExport;
+
+  @Setup
+  public void setup() throws IOException {
+    TelemetryBatches batches = TelemetryBatches.create();
+
+    // The payload is the same for every export, so measure it once with an in-process receiver
+    try (LocalOtlpReceiver payloadReceiver = new LocalOtlpReceiver()) {
+      BatchExporter payloadExporter =
+          createExporter(batches, payloadReceiver.grpcEndpoint(), payloadReceiver.httpEndpoint(""));
+      exportOrThrow(payloadExporter);
+      payloadExporter.shutdown().get().join(10, TimeUnit.SECONDS);
+      payloadBytesPerExport = payloadReceiver.bytesReceived();
+    }
+
+    int grpcPort = freePort();
+    int httpPort = freePort();
+    receiver = startReceiver(grpcPort, httpPort);
+    batchExporter =
+        createExporter(batches, "http://localhost:" + grpcPort, "http://localhost:" + httpPort);
+  }
+
+  @TearDown
+  public void tearDown() throws InterruptedException {
+    batchExporter.shutdown().get().join(10, TimeUnit.SECONDS);
+    receiver.destroy();
+    receiver.waitFor();
+  }
+
+  @Benchmark
+  public void export(ExportCounters counters) {
+    exportOrThrow(batchExporter);
+    counters.record(payloadBytesPerExport);
+  }
+
+  private static void exportOrThrow(BatchExporter exporter) {
+    CompletableResultCode result = exporter.export().get().join(10, TimeUnit.SECONDS);
+    if (!result.isSuccess()) {
+      throw new IllegalStateException("Export failed");
+    }
+  }
+
+  private BatchExporter createExporter(
+      TelemetryBatches batches, String grpcEndpoint, String httpEndpoint) {
+    boolean grpc = protocol.equals("grpc");
+    switch (signal) {
+      case "spans" -> {
+        SpanExporter exporter =
+            grpc
+                ? OtlpGrpcSpanExporter.builder()
+                    .setEndpoint(grpcEndpoint)
+                    .setCompression(compression)
+                    .build()
+                : OtlpHttpSpanExporter.builder()
+                    .setEndpoint(httpEndpoint + "/v1/traces")
+                    .setCompression(compression)
+                    .build();
+        return new BatchExporter(() -> exporter.export(batches.spans), exporter::shutdown);
+      }
+      case "metrics" -> {
+        MetricExporter exporter =
+            grpc
+                ? OtlpGrpcMetricExporter.builder()
+                    .setEndpoint(grpcEndpoint)
+                    .setCompression(compression)
+                    .build()
+                : OtlpHttpMetricExporter.builder()
+                    .setEndpoint(httpEndpoint + "/v1/metrics")
+                    .setCompression(compression)
+                    .build();
+        return new BatchExporter(() -> exporter.export(batches.metrics), exporter::shutdown);
+      }
+      case "logs" -> {
+        LogRecordExporter exporter =
+            grpc
+                ? OtlpGrpcLogRecordExporter.builder()
+                    .setEndpoint(grpcEndpoint)
+                    .setCompression(compression)
+                    .build()
+                : OtlpHttpLogRecordExporter.builder()
+                    .setEndpoint(httpEndpoint + "/v1/logs")
+                    .setCompression(compression)
+                    .build();
+        return new BatchExporter(() -> exporter.export(batches.logs), exporter::shutdown);
+      }
+      default -> throw new IllegalArgumentException("Unknown signal: " + signal);
+    }
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  // Run the receiver without latency in a separate JVM, so its CPU time isn't counted
+  private static Process startReceiver(int grpcPort, int httpPort) throws IOException {
+    Process process =
+        new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp",
+                System.getProperty("java.class.path"),
+                LocalOtlpReceiver.class.getName(),
+                "0",
+                String.valueOf(grpcPort),
+                String.valueOf(httpPort))
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+    // The receiver prints a line once it's listening. Its later output isn't needed, and writes
+    // to the closed pipe are ignored by System.out.
+    try (InputStream output = process.getInputStream()) {
+      int read;
+      do {
+        read = output.read();
+      } while (read != -1 && read != '\n');
+    }
+    if (!process.isAlive()) {
+      throw new IOException("Receiver exited with status " + process.exitValue());
+    }
+    return process;
+  }
+
+  private record BatchExporter(
+      Supplier<CompletableResultCode> export, Supplier<CompletableResultCode> shutdown) {}
+
+  /**
+   * Reports the exports, payload bytes, and process CPU time of each iteration as totals, which
+   * JMH sums across iterations. Divide the payload bytes and CPU time by the exports for their
+   * per-export values. CPU time is sampled at the start and end of the iteration rather than
+   * around each export, since the OS only updates it every clock tick, which can be longer than an
+   * export.
+   */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class ExportCounters {
+
+    public long exports;
+    public long payloadBytes;
+    public long cpuNanos;
+
+    private long cpuNanosAtStart;
+
+    @Setup(Level.Iteration)
+    public void start() {
+      exports = 0;
+      payloadBytes = 0;
+      cpuNanos = 0;
+      cpuNanosAtStart = OPERATING_SYSTEM.getProcessCpuTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+      cpuNanos = OPERATING_SYSTEM.getProcessCpuTime() - cpuNanosAtStart;
+    }
+
+    private void record(long exportPayloadBytes) {
+      exports++;
+      payloadBytes += exportPayloadBytes;
+    }
+  }
+}
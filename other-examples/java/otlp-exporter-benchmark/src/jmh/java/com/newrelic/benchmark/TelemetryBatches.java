@@ -0,0 +1,165 @@
+package com.newrelic.benchmark;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.runtimemetrics.java8.BufferPools;
+import io.opentelemetry.instrumentation.runtimemetrics.java8.Classes;
+import io.opentelemetry.instrumentation.runtimemetrics.java8.Cpu;
+import io.opentelemetry.instrumentation.runtimemetrics.java8.GarbageCollector;
+import io.opentelemetry.instrumentation.runtimemetrics.java8.MemoryPools;
+import io.opentelemetry.instrumentation.runtimemetrics.java8.Threads;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.SimpleLogRecordProcessor;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.exporter.InMemoryLogRecordExporter;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Representative batches of telemetry, recorded with the same instruments as the getting started
+ * guide's instrumented fibonacci app: a server span and a {@code fibonacci} span per request, the
+ * {@code fibonacci.invocations} counter, the {@code http.server.duration} histogram, runtime
+ * metrics, and a log record per request.
+ */
+final class TelemetryBatches {
+
+  // Each request records 2 spans, so a batch is the size of the default BatchSpanProcessor batch
+  private static final int REQUESTS = 256;
+
+  private static final AttributeKey<Long> ATTR_N = AttributeKey.longKey("fibonacci.n");
+  private static final AttributeKey<Long> ATTR_RESULT = AttributeKey.longKey("fibonacci.result");
+  private static final AttributeKey<Boolean> ATTR_VALID_N =
+      AttributeKey.booleanKey("fibonacci.valid.n");
+
+  final List<SpanData> spans;
+  final Collection<MetricData> metrics;
+  final List<LogRecordData> logs;
+
+  private TelemetryBatches(
+      List<SpanData> spans, Collection<MetricData> metrics, List<LogRecordData> logs) {
+    this.spans = spans;
+    this.metrics = metrics;
+    this.logs = logs;
+  }
+
+  static TelemetryBatches create() {
+    Resource resource =
+        Resource.getDefault().toBuilder()
+            .put("service.name", "getting-started-java")
+            .put("service.instance.id", UUID.randomUUID().toString())
+            .build();
+    InMemorySpanExporter spanExporter = InMemorySpanExporter.create();
+    InMemoryMetricReader metricReader = InMemoryMetricReader.createDelta();
+    InMemoryLogRecordExporter logExporter = InMemoryLogRecordExporter.create();
+    OpenTelemetrySdk openTelemetrySdk =
+        OpenTelemetrySdk.builder()
+            .setTracerProvider(
+                SdkTracerProvider.builder()
+                    .setResource(resource)
+                    .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                    .build())
+            .setMeterProvider(
+                SdkMeterProvider.builder()
+                    .setResource(resource)
+                    .registerMetricReader(metricReader)
+                    .build())
+            .setLoggerProvider(
+                SdkLoggerProvider.builder()
+                    .setResource(resource)
+                    .addLogRecordProcessor(SimpleLogRecordProcessor.create(logExporter))
+                    .build())
+            .build();
+
+    BufferPools.registerObservers(openTelemetrySdk);
+    Classes.registerObservers(openTelemetrySdk);
+    Cpu.registerObservers(openTelemetrySdk);
+    GarbageCollector.registerObservers(openTelemetrySdk);
+    MemoryPools.registerObservers(openTelemetrySdk);
+    Threads.registerObservers(openTelemetrySdk);
+
+    Tracer tracer = openTelemetrySdk.getTracer(TelemetryBatches.class.getName());
+    Meter meter = openTelemetrySdk.getMeter(TelemetryBatches.class.getName());
+    Logger logger = openTelemetrySdk.getLogsBridge().get(TelemetryBatches.class.getName());
+    LongCounter fibonacciInvocations = meter.counterBuilder("fibonacci.invocations").build();
+    DoubleHistogram serverDuration =
+        meter.histogramBuilder("http.server.duration").setUnit("ms").build();
+
+    Random random = new Random(0);
+    for (int i = 0; i < REQUESTS; i++) {
+      long n = random.nextInt(100);
+      boolean valid = n >= 1 && n <= 90;
+      Span serverSpan =
+          tracer
+              .spanBuilder("GET /fibonacci")
+              .setSpanKind(SpanKind.SERVER)
+              .setAttribute(SemanticAttributes.HTTP_METHOD, "GET")
+              .setAttribute(SemanticAttributes.HTTP_SCHEME, "http")
+              .setAttribute(SemanticAttributes.HTTP_ROUTE, "/fibonacci")
+              .setAttribute(SemanticAttributes.HTTP_TARGET, "/fibonacci?n=" + n)
+              .setAttribute(SemanticAttributes.NET_HOST_NAME, "localhost")
+              .setAttribute(SemanticAttributes.NET_HOST_PORT, 8080L)
+              .startSpan();
+      try (Scope serverScope = serverSpan.makeCurrent()) {
+        Span span = tracer.spanBuilder("fibonacci").setAttribute(ATTR_N, n).startSpan();
+        try (Scope scope = span.makeCurrent()) {
+          if (valid) {
+            span.setAttribute(ATTR_RESULT, random.nextLong());
+          }
+          fibonacciInvocations.add(1, Attributes.of(ATTR_VALID_N, valid));
+          logger
+              .logRecordBuilder()
+              .setSeverity(Severity.INFO)
+              .setSeverityText("INFO")
+              .setBody(
+                  valid ? "Compute fibonacci(" + n + ")" : "Failed to compute fibonacci(" + n + ")")
+              .setAttribute(AttributeKey.stringKey("thread.name"), "http-nio-8080-exec-1")
+              .setAttribute(AttributeKey.longKey("thread.id"), 42L)
+              .emit();
+        } finally {
+          span.end();
+        }
+        long statusCode = valid ? 200 : 400;
+        serverSpan.setAttribute(SemanticAttributes.HTTP_STATUS_CODE, statusCode);
+        serverDuration.record(
+            random.nextDouble() * 10,
+            Attributes.builder()
+                .put(SemanticAttributes.HTTP_METHOD, "GET")
+                .put(SemanticAttributes.HTTP_SCHEME, "http")
+                .put(SemanticAttributes.HTTP_ROUTE, "/fibonacci")
+                .put(SemanticAttributes.HTTP_STATUS_CODE, statusCode)
+                .build());
+      } finally {
+        serverSpan.end();
+      }
+    }
+
+    TelemetryBatches batches =
+        new TelemetryBatches(
+            spanExporter.getFinishedSpanItems(),
+            metricReader.collectAllMetrics(),
+            logExporter.getFinishedLogRecordItems());
+    openTelemetrySdk.close();
+    return batches;
+  }
+}
@@ -0,0 +1,105 @@
+package com.newrelic.benchmark;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * A local OTLP receiver which accepts every export and counts the payload bytes it receives. It
+ * listens for gRPC over cleartext HTTP/2 and for HTTP/protobuf over HTTP/1.1 on separate ports,
+ * and can delay each response to simulate a slow backend.
+ *
+ * <p>Run it standalone with {@code ./gradlew otlp-exporter-benchmark:run --args="<latency ms>"}
+ * to listen on the default OTLP ports, 4317 for gRPC and 4318 for HTTP/protobuf. Other ports can
+ * be passed as {@code <latency ms> <grpc port> <http port>}.
+ */
+public final class LocalOtlpReceiver implements Closeable {
+
+  private final AtomicLong bytesReceived = new AtomicLong();
+  private final MockWebServer grpcServer = new MockWebServer();
+  private final MockWebServer httpServer = new MockWebServer();
+
+  /** Start a receiver on ephemeral ports, which responds without delay. */
+  LocalOtlpReceiver() throws IOException {
+    this(0, 0, Duration.ZERO);
+  }
+
+  LocalOtlpReceiver(int grpcPort, int httpPort, Duration latency) throws IOException {
+    grpcServer.setProtocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+    grpcServer.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            bytesReceived.addAndGet(request.getBodySize());
+            // An empty, uncompressed gRPC message: a 1 byte compression flag and 4 byte length
+            return new MockResponse()
+                .setHeader("content-type", "application/grpc")
+                .setHeader("grpc-status", "0")
+                .setBody(new Buffer().write(new byte[5]))
+                .setHeadersDelay(latency.toMillis(), TimeUnit.MILLISECONDS);
+          }
+        });
+    httpServer.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(RecordedRequest request) {
+            bytesReceived.addAndGet(request.getBodySize());
+            return new MockResponse()
+                .setHeader("content-type", "application/x-protobuf")
+                .setHeadersDelay(latency.toMillis(), TimeUnit.MILLISECONDS);
+          }
+        });
+    grpcServer.start(grpcPort);
+    httpServer.start(httpPort);
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    Duration latency = Duration.ofMillis(args.length > 0 ? Long.parseLong(args[0]) : 0);
+    int grpcPort = args.length > 2 ? Integer.parseInt(args[1]) : 4317;
+    int httpPort = args.length > 2 ? Integer.parseInt(args[2]) : 4318;
+    try (LocalOtlpReceiver receiver = new LocalOtlpReceiver(grpcPort, httpPort, latency)) {
+      System.out.println(
+          "Receiving OTLP gRPC at "
+              + receiver.grpcEndpoint()
+              + " and HTTP/protobuf at "
+              + receiver.httpEndpoint("")
+              + " with "
+              + latency.toMillis()
+              + "ms latency");
+      while (true) {
+        Thread.sleep(10_000);
+        System.out.println("Received " + receiver.bytesReceived() + " bytes");
+      }
+    }
+  }
+
+  /** Returns the endpoint for gRPC exporters. */
+  String grpcEndpoint() {
+    return "http://" + grpcServer.getHostName() + ":" + grpcServer.getPort();
+  }
+
+  /** Returns the endpoint for HTTP/protobuf exporters of the signal at {@code path}. */
+  String httpEndpoint(String path) {
+    return "http://" + httpServer.getHostName() + ":" + httpServer.getPort() + path;
+  }
+
+  /** Returns the total request body bytes received, as sent on the wire. */
+  long bytesReceived() {
+    return bytesReceived.get();
+  }
+
+  @Override
+  public void close() throws IOException {
+    grpcServer.shutdown();
+    httpServer.shutdown();
+  }
+}